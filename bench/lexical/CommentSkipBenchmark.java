@@ -0,0 +1,69 @@
+package lexical;
+
+/**
+ * Mede só nextToken() (sem o reset) em uma entrada com muitos comentários e na mesma
+ * entrada sem os comentários (mesmos tokens), para acompanhar o custo de
+ * pular comentários e espaços.
+ *
+ * Usa só a API pública do Scanner (Scanner(), reset, nextToken), então
+ * pode ser rodado também no commit anterior ao salto em bloco (37d02a8)
+ * para comparar com o caminho de um caractere por vez.
+ *
+ * Na pasta raiz do projeto:
+ *   javac -encoding UTF-8 -d out $(find src bench -name "*.java" ! -name module-info.java)
+ *   java -cp out lexical.CommentSkipBenchmark [grupos] [repeticoes]
+ */
+public class CommentSkipBenchmark {
+
+	public static void main(String[] args) {
+		int groups = args.length > 0 ? Integer.parseInt(args[0]) : 1500;
+		int runs = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+		String withComments = generate(groups, true);
+		String withoutComments = generate(groups, false);
+
+		run("com comentarios", withComments, runs);
+		run("sem comentarios", withoutComments, runs);
+	}
+
+	/**
+	 * Programa sintético: cada grupo tem um comentário de bloco de 20 linhas,
+	 * 10 comentários de linha e uma atribuição. Com groups = 1500 dá cerca de 9,6 MB.
+	 */
+	private static String generate(int groups, boolean comments) {
+		StringBuilder sb = new StringBuilder("INICIO DECLS\nx:INT\nFIMDECLS\nCODIGO\n");
+		for (int g = 0; g < groups; g++) {
+			if (comments) {
+				sb.append("/* ");
+				for (int l = 0; l < 20; l++) {
+					sb.append("bloco de comentario gerado ".repeat(8)).append('\n');
+				}
+				sb.append(" ** / */\n");
+				for (int l = 0; l < 10; l++) {
+					sb.append("# ").append("comentario de linha ".repeat(10)).append('\n');
+				}
+			}
+			sb.append("x = x + 1        \n");
+		}
+		return sb.append("FIMPROG").toString();
+	}
+
+	private static void run(String name, String source, int runs) {
+		Scanner sc = new Scanner();
+		long best = Long.MAX_VALUE;
+		int tokens = 0;
+		for (int r = 0; r < runs; r++) {
+			// reset copia o programa inteiro para o buffer; fica fora da medição
+			sc.reset(source);
+			tokens = 0;
+			long start = System.nanoTime();
+			while (sc.nextToken() != null) {
+				tokens++;
+			}
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		double mb = source.length() / 1e6;
+		System.out.printf("%-16s %8.2f MB %8d tokens  melhor %8.3f ms  %8.1f MB/s%n",
+				name, mb, tokens, best / 1e6, mb / (best / 1e9));
+	}
+}
@@ -1,30 +1,116 @@
 package lexical;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
+import util.ConstantPool;
 import util.ReservedWords;
 import util.TokenType;
 
+/**
+ * Analisador léxico.
+ * Uma instância não é thread-safe: para compilar vários programas em paralelo,
+ * mantenha um Scanner por thread e reaproveite-o com reset(...). O buffer de
+ * caracteres só é realocado quando um programa maior que os anteriores chega.
+ */
 public class Scanner {
 	private int state;
 	private char[] sourceCode;
+	private int length;
 	private int pos, lin, col;
+	private int tokenLin;
+	private final ConstantPool constants = new ConstantPool();
+	private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
 
+	/**
+	 * Cria um Scanner vazio, a ser alimentado por reset(...).
+	 */
+	public Scanner() {
+		sourceCode = new char[0];
+		rewind(0);
+	}
+
+	/**
+	 * Cria um Scanner a partir do arquivo informado (lido como UTF-8).
+	 */
 	public Scanner(String filename) {
+		this();
 		try {
-			String content = new String(Files.readAllBytes(Paths.get(filename)), StandardCharsets.UTF_8);
-			sourceCode = content.toCharArray();
-			pos = 0;
-			col = 0;
-			lin = 1;     
+			reset(Files.readAllBytes(Paths.get(filename)));
 		} catch (IOException e) {
-			e.printStackTrace();
+			throw new RuntimeException("Erro ao ler o arquivo '" + filename + "': " + e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Reinicia o Scanner sobre um código-fonte já em memória.
+	 */
+	public void reset(CharSequence source) {
+		int n = source.length();
+		ensureCapacity(n);
+		if (source instanceof String) {
+			((String) source).getChars(0, n, sourceCode, 0);
+		} else {
+			for (int i = 0; i < n; i++) {
+				sourceCode[i] = source.charAt(i);
+			}
+		}
+		rewind(n);
+	}
+
+	/**
+	 * Reinicia o Scanner sobre bytes UTF-8.
+	 */
+	public void reset(byte[] source) {
+		reset(ByteBuffer.wrap(source));
+	}
+
+	/**
+	 * Reinicia o Scanner sobre os bytes UTF-8 restantes do buffer.
+	 * A posição do buffer informado não é alterada.
+	 */
+	public void reset(ByteBuffer source) {
+		ByteBuffer in = source.duplicate();
+		// Em UTF-8 cada byte gera no máximo um char
+		ensureCapacity(in.remaining());
+		CharBuffer out = CharBuffer.wrap(sourceCode);
+		decoder.reset();
+		decoder.decode(in, out, true);
+		decoder.flush(out);
+		rewind(out.position());
+	}
+
+	private void ensureCapacity(int n) {
+		if (sourceCode.length < n) {
+			sourceCode = new char[Math.max(n, sourceCode.length * 2)];
 		}
 	}
 
+	/**
+	 * Cadeias (CADEIA) encontradas no programa atual, sem repetições.
+	 * A tabela é esvaziada no próximo reset; use copy() para mantê-la.
+	 */
+	public ConstantPool getConstantPool() {
+		return constants;
+	}
+
+	private void rewind(int n) {
+		constants.clear();
+		length = n;
+		pos = 0;
+		col = 0;
+		lin = 1;
+		state = 0;
+	}
+
 	public Token nextToken() {
 		char currentChar;
 		String content = "";
@@ -39,21 +125,21 @@ public class Scanner {
 						return null;
 					case 1:
 						TokenType type = ReservedWords.TABLE.getOrDefault(content, TokenType.IDENTIFIER);
-						return new Token(type, content);
+						return new Token(type, content, tokenLin);
 					case 5: 
 					case 6: 
-						return new Token(TokenType.NUMBER, content);
+						return new Token(TokenType.NUMBER, content, tokenLin);
 					case 2:
-						return new Token(TokenType.ASSIGNMENT, content);
+						return new Token(TokenType.ASSIGNMENT, content, tokenLin);
 					case 3:
 						if (content.equals("!")) {
 							erro_caracter('!');
 						}
-						return new Token(TokenType.REL_OPERATOR, content);
+						return new Token(TokenType.REL_OPERATOR, content, tokenLin);
 					case 4:
 						erro_cadeia(content);
 					case 7:
-						return new Token(TokenType.MATH_OPERATOR, content);
+						return new Token(TokenType.MATH_OPERATOR, content, tokenLin);
 					case 8: 
 						throw new RuntimeException("Erro léxico: Comentário em bloco não fechado (EOF)");
 					default:
@@ -64,6 +150,7 @@ public class Scanner {
 
 			switch (state) {
 				case 0:
+					tokenLin = lin;
 					if (isLetter(currentChar)) {
 						content += currentChar;
 						state = 1;
@@ -72,10 +159,10 @@ public class Scanner {
 						state = 7;
 					} else if (isMathOperator(currentChar)) {
 						content += currentChar;
-						return new Token(TokenType.MATH_OPERATOR, content);
+						return new Token(TokenType.MATH_OPERATOR, content, tokenLin);
 					} else if (currentChar == ':') {
 						content += currentChar;
-						return new Token(TokenType.COLON, content);
+						return new Token(TokenType.COLON, content, tokenLin);
 					} else if (isAssignOperator(currentChar)) {
 						content += currentChar;
 						state = 2;
@@ -84,22 +171,24 @@ public class Scanner {
 						state = 3;
 					} else if (currentChar == '(') {
 						content += currentChar;
-						return new Token(TokenType.L_PAREN, content);
+						return new Token(TokenType.L_PAREN, content, tokenLin);
 					} else if (currentChar == ')') {
 						content += currentChar;
-						return new Token(TokenType.R_PAREN, content);
+						return new Token(TokenType.R_PAREN, content, tokenLin);
 					} else if (isPoint(currentChar)) {
 						content += currentChar;
 						state = 4;
 					} else if (isDigit(currentChar)) {
 						content += currentChar;
 						state = 6;
+					} else if (isQuote(currentChar)) {
+						return stringLiteral();
 					} else if (isHash(currentChar)) {
-						while (!isEoF() && currentChar != '\n') {
-							currentChar = nextChar();
-						}
+						skipLineComment();
 					} else if (!Character.isWhitespace(currentChar)) {
 						erro_caracter(currentChar);				
+					} else {
+						skipWhitespace();
 					}
 					break;
 				case 1:
@@ -108,24 +197,24 @@ public class Scanner {
 					} else {
 						back();
 						TokenType type = ReservedWords.TABLE.getOrDefault(content, TokenType.IDENTIFIER);
-						return new Token(type, content);
+						return new Token(type, content, tokenLin);
 					}
 					break;
 				case 2:
 					if (isAssignOperator(currentChar)) {
 						content += currentChar;
-						return new Token(TokenType.REL_OPERATOR, content);
+						return new Token(TokenType.REL_OPERATOR, content, tokenLin);
 					} else {
 						back();
-						return new Token(TokenType.ASSIGNMENT, content);
+						return new Token(TokenType.ASSIGNMENT, content, tokenLin);
 					}
 				case 3:
 					if (isAssignOperator(currentChar)) {
 						content += currentChar;
-						return new Token(TokenType.REL_OPERATOR, content);
+						return new Token(TokenType.REL_OPERATOR, content, tokenLin);
 					} else if (!content.equals("!")) {
 						back();
-						return new Token(TokenType.REL_OPERATOR, content);
+						return new Token(TokenType.REL_OPERATOR, content, tokenLin);
 					} else {
 						back();
 						erro_caracter(sourceCode[pos-1]);
@@ -148,13 +237,13 @@ public class Scanner {
 						content += currentChar;
 					} else if(!isLetter(currentChar)){
 						back();
-						return new Token(TokenType.NUMBER, content);
+						return new Token(TokenType.NUMBER, content, tokenLin);
 					} else {
-						while (isLetter(currentChar) || isDigit(currentChar)) {
-							content += currentChar;
-							currentChar = nextChar();
+						// Consome o resto da cadeia sem passar do fim do programa atual
+						content += currentChar;
+						while (!isEoF() && (isLetter(sourceCode[pos]) || isDigit(sourceCode[pos]))) {
+							content += nextChar();
 						}
-						back();
 						erro_cadeia(content);
 					}
 					break;
@@ -166,41 +255,25 @@ public class Scanner {
 						state = 4;
 					} else if(!isLetter(currentChar)){
 						back();
-						return new Token(TokenType.NUMBER, content);
+						return new Token(TokenType.NUMBER, content, tokenLin);
 					} else {
-						while (isLetter(currentChar) || isDigit(currentChar)) {
-							content += currentChar;
-							currentChar = nextChar();
+						// Consome o resto da cadeia sem passar do fim do programa atual
+						content += currentChar;
+						while (!isEoF() && (isLetter(sourceCode[pos]) || isDigit(sourceCode[pos]))) {
+							content += nextChar();
 						}
-						back();
 						erro_cadeia(content);
 					}
 					break;
 				case 7:
 					if (isAsterisk(currentChar)) {
 						content = "";
-						state = 8;
+						// Se o comentário não fechar, fica no estado 8 e o EOF acusa o erro
+						state = skipBlockComment() ? 0 : 8;
 					} else {
 						back();
-						return new Token(TokenType.MATH_OPERATOR, content);
-					}
-					break;
-				case 8:
-					while (!isEoF()) {
-						currentChar = nextChar();
-
-						if (isAsterisk(currentChar)) {
-							if (!isEoF()) {
-								char next = nextChar();
-
-								if (isSlash(next)) {
-									state = 0;
-									break;
-								}
-							}
-						}
+						return new Token(TokenType.MATH_OPERATOR, content, tokenLin);
 					}
-					state = 0;
 					break;
 			}
 		}
@@ -232,6 +305,100 @@ public class Scanner {
 		return sourceCode[pos++];
 	}
 
+	/**
+	 * Lê uma cadeia entre aspas (a aspa de abertura já foi consumida).
+	 * O texto é consultado na tabela de constantes como uma fatia do fonte;
+	 * o token recebe a instância compartilhada da tabela e o seu índice.
+	 */
+	private Token stringLiteral() {
+		int i = pos;
+		while (i < length && sourceCode[i] != '"' && sourceCode[i] != '\n') {
+			i++;
+		}
+		if (i >= length || sourceCode[i] == '\n') {
+			throw new RuntimeException(
+				"Erro léxico na linha " + lin + ", coluna " + col + ". Cadeia não fechada."
+				);
+		}
+		int index = constants.intern(CharBuffer.wrap(sourceCode, pos, i - pos));
+		skipTo(i + 1, 0, 0);
+		return new Token(TokenType.CADEIA, constants.get(index), tokenLin, index);
+	}
+
+	// Os saltos abaixo percorrem o array direto, sem passar por nextChar()
+	// a cada caractere, e atualizam lin/col de uma vez no final.
+	// São laços escalares: não há varredura vetorizada (Vector API) nem SWAR.
+	// Como reset(byte[]/ByteBuffer) decodifica para o char[] antes da análise,
+	// uma busca por bytes exigiria um Scanner que trabalhe sobre os bytes.
+
+	/**
+	 * Pula o resto de um comentário '#', incluindo a quebra de linha.
+	 */
+	private void skipLineComment() {
+		int i = pos;
+		while (i < length && sourceCode[i] != '\n') {
+			i++;
+		}
+		if (i < length) {
+			skipTo(i + 1, 1, i + 1);
+		} else {
+			skipTo(i, 0, 0);
+		}
+	}
+
+	/**
+	 * Pula até depois do próximo fecha-comentário de bloco.
+	 * Retorna false se o arquivo terminar antes dele.
+	 */
+	private boolean skipBlockComment() {
+		int i = pos;
+		int lines = 0, lineStart = 0;
+		while (i < length) {
+			char c = sourceCode[i++];
+			if (c == '\n') {
+				lines++;
+				lineStart = i;
+			} else if (c == '*' && i < length && sourceCode[i] == '/') {
+				skipTo(i + 1, lines, lineStart);
+				return true;
+			}
+		}
+		skipTo(i, lines, lineStart);
+		return false;
+	}
+
+	/**
+	 * Pula uma sequência de espaços em branco.
+	 */
+	private void skipWhitespace() {
+		int i = pos;
+		int lines = 0, lineStart = 0;
+		while (i < length) {
+			char c = sourceCode[i];
+			if (c == '\n') {
+				lines++;
+				lineStart = i + 1;
+			} else if (c != ' ' && c != '\t' && c != '\r') {
+				break;
+			}
+			i++;
+		}
+		skipTo(i, lines, lineStart);
+	}
+
+	/**
+	 * Avança pos até end, contando as quebras de linha encontradas no caminho.
+	 */
+	private void skipTo(int end, int lines, int lineStart) {
+		if (lines > 0) {
+			lin += lines;
+			col = end - lineStart;
+		} else {
+			col += end - pos;
+		}
+		pos = end;
+	}
+
 	private void erro_caracter(char c){
 		throw new RuntimeException(
 			"Erro léxico na linha " + lin + ", coluna " + col + ". Símbolo '" + c + "' não reconhecido."
@@ -245,12 +412,22 @@ public class Scanner {
 	}
 	
 	private void back() {
-		col--;
 		pos--;
+		if (sourceCode[pos] == '\n') {
+			// Desfaz a quebra de linha: volta ao fim da linha anterior
+			lin--;
+			int lineStart = pos;
+			while (lineStart > 0 && sourceCode[lineStart - 1] != '\n') {
+				lineStart--;
+			}
+			col = pos - lineStart;
+		} else {
+			col--;
+		}
 	}
 
 	private boolean isEoF() {
-		return pos >= sourceCode.length;
+		return pos >= length;
 	}
 
 	private boolean isPoint(char c) {
@@ -265,6 +442,10 @@ public class Scanner {
 		return c == '/';
 	}
 
+	private boolean isQuote(char c) {
+		return c == '"';
+	}
+
 	private boolean isHash(char c) {
 		return c == '#';
 	}
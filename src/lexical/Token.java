@@ -5,6 +5,8 @@ import util.TokenType;
 public class Token {
 	private TokenType type;
 	private String text;
+	private int line;
+	private int constant = -1;
 
 	public Token(TokenType type, String text) {
 		super();
@@ -12,6 +14,16 @@ public class Token {
 		this.text = text;
 	}
 
+	public Token(TokenType type, String text, int line) {
+		this(type, text);
+		this.line = line;
+	}
+
+	public Token(TokenType type, String text, int line, int constant) {
+		this(type, text, line);
+		this.constant = constant;
+	}
+
 	public TokenType getType() {
 		return type;
 	}
@@ -28,6 +40,25 @@ public class Token {
 		this.text = text;
 	}
 
+	public int getLine() {
+		return line;
+	}
+
+	public void setLine(int line) {
+		this.line = line;
+	}
+
+	/**
+	 * Índice na ConstantPool do Scanner (tokens CADEIA) ou -1.
+	 */
+	public int getConstant() {
+		return constant;
+	}
+
+	public void setConstant(int constant) {
+		this.constant = constant;
+	}
+
 	@Override
 	public String toString() {
 		return "Token [type=" + type + ", text='" + text + "']";
@@ -13,8 +13,8 @@ import syntactic.Parser;
 public class Main {
 
 	public static void main(String[] args) {
-		Scanner sc = new Scanner("C:\\Users\\lbeat\\Documents\\mini compilador\\mini-compilador\\programa.mc");
 		try {
+			Scanner sc = new Scanner("C:\\Users\\lbeat\\Documents\\mini compilador\\mini-compilador\\programa.mc");
 			Parser parser = new Parser(sc);
 			parser.programa();
 			System.out.println("Compilation successful");
@@ -0,0 +1,132 @@
+package profiler;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import syntactic.CommandTable;
+import util.TokenType;
+
+/**
+ * Contadores de execução de um programa .mc, indexados pelo ID de comando
+ * da CommandTable. Os contadores são arrays primitivos para manter baixo o
+ * custo de cada registro; o relatório traduz os IDs para linhas do fonte.
+ * Linhas e tipos são copiados da tabela na criação, então o perfil continua
+ * válido depois de um Parser.reset (mas só para o programa de origem).
+ * Não é thread-safe: use um perfil por execução.
+ */
+public class ExecutionProfile {
+
+    private final int[] lines;
+    private final TokenType[] kinds;
+    private final long[] hits;
+    private final long[] nanos;
+    private final long[] taken;
+    private final long[] notTaken;
+
+    public ExecutionProfile(CommandTable commands) {
+        int n = commands.size();
+        this.lines = new int[n];
+        this.kinds = new TokenType[n];
+        for (int id = 0; id < n; id++) {
+            lines[id] = commands.getLine(id);
+            kinds[id] = commands.getKind(id);
+        }
+        this.hits = new long[n];
+        this.nanos = new long[n];
+        this.taken = new long[n];
+        this.notTaken = new long[n];
+    }
+
+    /**
+     * Conta uma execução do comando.
+     */
+    public void hit(int id) {
+        hits[id]++;
+    }
+
+    /**
+     * Acumula tempo gasto no comando (usado para os laços REPITA).
+     */
+    public void time(int id, long elapsedNanos) {
+        nanos[id] += elapsedNanos;
+    }
+
+    /**
+     * Registra o desvio de um SE: ENTAO (taken) ou SENAO/nada (not taken).
+     */
+    public void branch(int id, boolean wasTaken) {
+        if (wasTaken) {
+            taken[id]++;
+        } else {
+            notTaken[id]++;
+        }
+    }
+
+    public long getHits(int id) {
+        return hits[id];
+    }
+
+    public long getNanos(int id) {
+        return nanos[id];
+    }
+
+    public long getTaken(int id) {
+        return taken[id];
+    }
+
+    public long getNotTaken(int id) {
+        return notTaken[id];
+    }
+
+    /**
+     * Zera os contadores para reaproveitar o perfil numa nova execução.
+     */
+    public void reset() {
+        Arrays.fill(hits, 0);
+        Arrays.fill(nanos, 0);
+        Arrays.fill(taken, 0);
+        Arrays.fill(notTaken, 0);
+    }
+
+    /**
+     * Imprime os comandos por número de execuções, os laços REPITA por
+     * tempo acumulado e a contagem de desvios de cada SE.
+     */
+    public void report(PrintStream out) {
+        int n = hits.length;
+
+        out.println("Comandos mais executados:");
+        for (int id : sortedBy(hits)) {
+            if (hits[id] == 0) {
+                break;
+            }
+            out.printf("  linha %4d  %-10s %12d%n", lines[id], kinds[id], hits[id]);
+        }
+
+        out.println("Laços REPITA (tempo acumulado):");
+        for (int id : sortedBy(nanos)) {
+            if (kinds[id] == TokenType.REPITA) {
+                out.printf("  linha %4d  %12d execuções %10.3f ms%n", lines[id], hits[id], nanos[id] / 1e6);
+            }
+        }
+
+        out.println("Desvios SE (ENTAO / SENAO):");
+        for (int id = 0; id < n; id++) {
+            if (kinds[id] == TokenType.SE) {
+                out.printf("  linha %4d  %12d / %d%n", lines[id], taken[id], notTaken[id]);
+            }
+        }
+    }
+
+    /**
+     * IDs ordenados pelo valor decrescente do contador.
+     */
+    private int[] sortedBy(long[] counter) {
+        return IntStream.range(0, counter.length)
+                .boxed()
+                .sorted((a, b) -> Long.compare(counter[b], counter[a]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,64 @@
+package syntactic;
+
+import java.util.Arrays;
+
+import util.TokenType;
+
+/**
+ * Tabela de comandos do programa, preenchida pelo Parser.
+ * Cada comando recebe um ID sequencial, na ordem em que aparece no fonte;
+ * a linha e o tipo (token inicial) ficam em arrays indexados por esse ID.
+ */
+public class CommandTable {
+
+    private int[] lines = new int[16];
+    private TokenType[] kinds = new TokenType[16];
+    private int[] operands = new int[16];
+    private int size;
+
+    /**
+     * Registra um comando e devolve o seu ID.
+     */
+    public int add(TokenType kind, int line) {
+        if (size == lines.length) {
+            lines = Arrays.copyOf(lines, size * 2);
+            kinds = Arrays.copyOf(kinds, size * 2);
+            operands = Arrays.copyOf(operands, size * 2);
+        }
+        lines[size] = line;
+        kinds[size] = kind;
+        operands[size] = -1;
+        return size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getLine(int id) {
+        return lines[id];
+    }
+
+    public TokenType getKind(int id) {
+        return kinds[id];
+    }
+
+    /**
+     * Operando do comando; para ESCREVA de CADEIA, o índice na ConstantPool.
+     * Vale -1 quando o comando não tem operando.
+     */
+    public int getOperand(int id) {
+        return operands[id];
+    }
+
+    public void setOperand(int id, int operand) {
+        operands[id] = operand;
+    }
+
+    /**
+     * Esvazia a tabela mantendo os arrays já alocados.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
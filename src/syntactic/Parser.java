@@ -3,19 +3,49 @@ package syntactic;
 import exceptions.SyntacticException;
 import lexical.Scanner;
 import lexical.Token;
+import util.ConstantPool;
 import util.TokenType;
 
 public class Parser {
 
     private Scanner scanner;
     private Token token;
+    private final CommandTable commands = new CommandTable();
 
     public Parser(Scanner scanner) throws Exception {
+        reset(scanner);
+    }
+
+    /**
+     * Reinicia o parser sobre um Scanner (já posicionado no início do programa),
+     * permitindo reaproveitar a mesma instância entre compilações.
+     * Assim como o Scanner, o Parser não é thread-safe.
+     */
+    public void reset(Scanner scanner) throws Exception {
         this.scanner = scanner;
+        this.commands.clear();
         // Pega o primeiro token para iniciar
         this.token = this.scanner.nextToken();
     }
 
+    /**
+     * Comandos reconhecidos até agora, numerados na ordem do fonte.
+     * Os IDs desta tabela indexam os contadores do ExecutionProfile.
+     * A tabela é reaproveitada: só vale até o próximo reset.
+     */
+    public CommandTable getCommands() {
+        return commands;
+    }
+
+    /**
+     * Cadeias do programa, referenciadas pelo operando dos comandos ESCREVA.
+     * É a tabela do Scanner, esvaziada no próximo reset: para guardá-la
+     * junto com os operandos, use getConstants().copy().
+     */
+    public ConstantPool getConstants() {
+        return scanner.getConstantPool();
+    }
+
     // ---------- Métodos de "casamento" (Match) e Verificação (Check) ----------
 
     /**
@@ -263,13 +293,16 @@ public class Parser {
      * comando : atribuicao | entrada | saida | condicional | repeticao | subrotina;
      */
     public void comando() throws Exception {
+        // Registra o comando antes dos aninhados, para que os IDs sigam a ordem do fonte
+        int id = (token != null) ? commands.add(token.getType(), token.getLine()) : -1;
+
         // Decidimos qual produção seguir com base no primeiro token (FIRST set)
         if (check(TokenType.IDENTIFIER)) {
             atribuicao();
         } else if (check(TokenType.LEIA)) {
             entrada();
         } else if (check(TokenType.ESCREVA)) {
-            saida();
+            commands.setOperand(id, saida());
         } else if (check(TokenType.SE)) {
             condicional();
         } else if (check(TokenType.REPITA)) {
@@ -300,8 +333,10 @@ public class Parser {
 
     /**
      * saida : 'ESCREVA' '(' (IDENTIFIER | CADEIA) ')';
+     * Retorna o índice da CADEIA na ConstantPool, ou -1 para IDENTIFIER.
      */
-    public void saida() throws Exception {
+    public int saida() throws Exception {
+        int constant = -1;
         match(TokenType.ESCREVA);
         match(TokenType.L_PAREN);
 
@@ -309,12 +344,15 @@ public class Parser {
         if (check(TokenType.IDENTIFIER)) {
             match(TokenType.IDENTIFIER);
         } else if (check(TokenType.CADEIA)) {
+            // A cadeia já foi inserida na tabela pelo Scanner
+            constant = token.getConstant();
             match(TokenType.CADEIA);
         } else {
             throw new SyntacticException("Esperado IDENTIFIER ou CADEIA dentro do ESCREVA, mas foi encontrado " + (token != null ? token.getText() : "EOF"));
         }
 
         match(TokenType.R_PAREN);
+        return constant;
     }
 
     /**
@@ -0,0 +1,96 @@
+package util;
+
+import java.util.Arrays;
+
+/**
+ * Tabela de constantes de cadeia de um programa, sem repetições.
+ * Cada cadeia distinta recebe um índice; cadeias iguais devolvem o mesmo
+ * índice e compartilham a mesma instância de String.
+ */
+public class ConstantPool {
+
+    private String[] values = new String[16];
+    // Endereçamento aberto: guarda índice + 1 (0 indica posição livre)
+    private int[] slots = new int[32];
+    private int size;
+
+    /**
+     * Devolve o índice da cadeia, inserindo-a se ainda não existir.
+     * A String só é criada na primeira ocorrência, então a cadeia pode ser
+     * uma fatia do código-fonte (ex.: CharBuffer.wrap) sem cópia nas demais.
+     */
+    public int intern(CharSequence s) {
+        int mask = slots.length - 1;
+        int i = hash(s) & mask;
+        while (slots[i] != 0) {
+            int index = slots[i] - 1;
+            if (contentEquals(values[index], s)) {
+                return index;
+            }
+            i = (i + 1) & mask;
+        }
+
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size] = s.toString();
+        slots[i] = ++size;
+
+        if (size * 2 > slots.length) {
+            rehash();
+        }
+        return size - 1;
+    }
+
+    /**
+     * Cópia independente da tabela, com os mesmos índices e Strings.
+     */
+    public ConstantPool copy() {
+        ConstantPool copy = new ConstantPool();
+        copy.values = Arrays.copyOf(values, values.length);
+        copy.slots = slots.clone();
+        copy.size = size;
+        return copy;
+    }
+
+    public String get(int index) {
+        return values[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Esvazia a tabela mantendo os arrays já alocados.
+     */
+    public void clear() {
+        Arrays.fill(values, 0, size, null);
+        Arrays.fill(slots, 0);
+        size = 0;
+    }
+
+    private void rehash() {
+        slots = new int[slots.length * 2];
+        int mask = slots.length - 1;
+        for (int index = 0; index < size; index++) {
+            int i = hash(values[index]) & mask;
+            while (slots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = index + 1;
+        }
+    }
+
+    private static int hash(CharSequence s) {
+        int h = 0;
+        for (int i = 0; i < s.length(); i++) {
+            h = 31 * h + s.charAt(i);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean contentEquals(String value, CharSequence s) {
+        return value.length() == s.length() && value.contentEquals(s);
+    }
+}
@@ -0,0 +1,331 @@
+package lexical;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+import exceptions.SyntacticException;
+import syntactic.CommandTable;
+import syntactic.Parser;
+import util.ConstantPool;
+import util.TokenType;
+
+/**
+ * Verificações do Scanner, executadas por main (o projeto não usa framework de testes).
+ * Na pasta raiz do projeto:
+ *   javac -encoding UTF-8 -d out $(find src test -name "*.java" ! -name module-info.java)
+ *   java -cp out lexical.ScannerTest
+ */
+public class ScannerTest {
+
+	public static void main(String[] args) {
+		tokenLines();
+		errorPosition();
+		commandLines();
+		reuseDoesNotLeak();
+		resetSources();
+		bufferGrowth();
+		parserReuse();
+		stringLiterals();
+		constantPool();
+		comments();
+		System.out.println("ScannerTest OK");
+	}
+
+	/**
+	 * Um token seguido de '\n' não pode contar a quebra de linha duas vezes.
+	 */
+	private static void tokenLines() {
+		assertLines("a\nb", 1, 2);
+		assertLines("a\n\n\nb", 1, 4);
+		assertLines("x = 10\ny\r\n= 2.5\n\nz", 1, 1, 1, 2, 3, 3, 5);
+		assertLines("a # c\nb /* x\n */ c", 1, 2, 3);
+	}
+
+	private static void errorPosition() {
+		Scanner sc = new Scanner();
+		sc.reset("abc\n  ?");
+		sc.nextToken();
+		try {
+			sc.nextToken();
+			throw new AssertionError("esperado erro léxico");
+		} catch (RuntimeException e) {
+			check(e.getMessage().contains("linha 2, coluna 3"), e.getMessage());
+		}
+	}
+
+	private static void commandLines() {
+		Scanner sc = new Scanner();
+		sc.reset("INICIO DECLS\nx:INT\nFIMDECLS\nCODIGO\nLEIA x\nESCREVA(x)\nFIMPROG");
+		Token t;
+		while ((t = sc.nextToken()) != null) {
+			if (t.getText().equals("ESCREVA")) {
+				check(t.getLine() == 6, "ESCREVA na linha " + t.getLine());
+			}
+		}
+	}
+
+	/**
+	 * Fechamento de comentários de bloco e comentário de linha sem '\n' final.
+	 */
+	private static void comments() {
+		assertTexts("a/**/b", "a", "b");
+		assertTexts("a /* x **/ b", "a", "b");
+		assertTexts("/* a **/ b", "b");
+		assertTexts("a /***/ b /* * / */ c", "a", "b", "c");
+		assertTexts("a / * b", "a", "/", "*", "b");
+		assertTexts("a # fim sem quebra de linha", "a");
+		assertTexts("a\n#", "a");
+		assertTexts("# só comentário");
+
+		// Comentário de bloco sem fechamento é erro, com ou sem texto depois do '/*'
+		for (String source : new String[] { "a /* x", "a /*", "a /* x\n\n*", "/* x */ b /* y *" }) {
+			Scanner sc = new Scanner();
+			sc.reset(source);
+			String message = lexError(sc);
+			check(message.contains("Comentário em bloco não fechado"), "'" + source + "': " + message);
+		}
+	}
+
+	private static void assertTexts(String source, String... expected) {
+		Scanner sc = new Scanner();
+		sc.reset(source);
+		for (String text : expected) {
+			Token t = sc.nextToken();
+			check(t != null && t.getText().equals(text), t + ", esperado '" + text + "' em '" + source + "'");
+		}
+		Token t = sc.nextToken();
+		check(t == null, "sobrou " + t + " em '" + source + "'");
+	}
+
+	/**
+	 * Depois de um programa longo, um curto não pode ler o resto do buffer reaproveitado.
+	 */
+	private static void reuseDoesNotLeak() {
+		Scanner sc = new Scanner();
+		String[][] cases = {
+			{ "12ab", "coluna 1 à 4. Cadeia '12ab'" },
+			{ "x = 1.2a", "coluna 5 à 8. Cadeia '1.2a'" },
+			{ ".5x", "coluna 1 à 3. Cadeia '.5x'" },
+		};
+		for (String[] c : cases) {
+			sc.reset("SEGREDO senha123 outrotexto longo");
+			while (sc.nextToken() != null) {
+			}
+			sc.reset(c[0]);
+			String message = lexError(sc);
+			check(message.contains(c[1] + " não reconhecida"), "'" + c[0] + "': " + message);
+		}
+	}
+
+	/**
+	 * reset(byte[]) e reset(ByteBuffer) decodificam UTF-8 (linha/coluna contam
+	 * caracteres, não bytes) e não alteram a posição do buffer informado.
+	 */
+	private static void resetSources() {
+		String source = "# ação\nabc é";
+		byte[] bytes = source.getBytes(StandardCharsets.UTF_8);
+		String expected = "linha 2, coluna 5. Símbolo 'é'";
+
+		Scanner sc = new Scanner();
+		sc.reset(bytes);
+		check(sc.nextToken().getText().equals("abc"), "reset(byte[])");
+		check(lexError(sc).contains(expected), "reset(byte[])");
+
+		ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 4);
+		buffer.put(new byte[] { 'z', 'z', ' ', ' ' }).put(bytes).flip();
+		buffer.position(4);
+		sc.reset(buffer);
+		check(buffer.position() == 4 && buffer.limit() == bytes.length + 4, "posição do ByteBuffer alterada");
+		check(sc.nextToken().getText().equals("abc"), "reset(ByteBuffer)");
+		check(lexError(sc).contains(expected), "reset(ByteBuffer)");
+
+		sc.reset(new StringBuilder(source));
+		check(sc.nextToken().getText().equals("abc"), "reset(CharSequence)");
+		check(lexError(sc).contains(expected), "reset(CharSequence)");
+
+		// Bytes inválidos viram U+FFFD, como em new String(bytes, UTF_8)
+		sc.reset(new byte[] { 'a', ' ', (byte) 0xFF });
+		check(sc.nextToken().getText().equals("a"), "byte inválido");
+		check(lexError(sc).contains("Símbolo '\uFFFD'"), "byte inválido");
+	}
+
+	/**
+	 * O buffer cresce para programas maiores e continua válido para os menores.
+	 */
+	private static void bufferGrowth() {
+		Scanner sc = new Scanner();
+		for (int n : new int[] { 1, 3, 50, 10, 1000, 2 }) {
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < n; i++) {
+				sb.append("v").append(i).append(' ');
+			}
+			byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+			for (int variant = 0; variant < 3; variant++) {
+				if (variant == 0) {
+					sc.reset(sb);
+				} else if (variant == 1) {
+					sc.reset(bytes);
+				} else {
+					sc.reset(ByteBuffer.wrap(bytes));
+				}
+				int count = 0;
+				Token t;
+				while ((t = sc.nextToken()) != null) {
+					check(t.getText().equals("v" + count), "token " + t + " com n = " + n);
+					count++;
+				}
+				check(count == n, count + " tokens, esperado " + n);
+			}
+		}
+	}
+
+	/**
+	 * Um Parser reaproveitado dá o mesmo resultado que uma instância nova.
+	 */
+	private static void parserReuse() {
+		String first = "INICIO DECLS\nx:INT\ny:FLOAT\nFIMDECLS\nCODIGO\nLEIA x\nSE x > 1 ENTAO\n  BLOCO\n    y = x * 2\n    ESCREVA(y)\n  FIMBLOCO\nFIMPROG";
+		String second = "INICIO DECLS a:INT FIMDECLS\nCODIGO\nREPITA a < 3\n  a = a + 1\nESCREVA(a)\nFIMPROG";
+		try {
+			Scanner sc = new Scanner();
+			sc.reset(first);
+			Parser reused = new Parser(sc);
+			reused.programa();
+			for (String source : new String[] { second, first, second }) {
+				sc.reset(source);
+				reused.reset(sc);
+				reused.programa();
+
+				Scanner fresh = new Scanner();
+				fresh.reset(source);
+				Parser parser = new Parser(fresh);
+				parser.programa();
+				check(describe(reused.getCommands()).equals(describe(parser.getCommands())),
+						describe(reused.getCommands()) + " != " + describe(parser.getCommands()));
+			}
+
+			// Um erro não deixa estado para a próxima compilação
+			sc.reset("INICIO DECLS x:INT FIMDECLS CODIGO LEIA FIMPROG");
+			reused.reset(sc);
+			try {
+				reused.programa();
+				throw new AssertionError("esperado erro sintático");
+			} catch (SyntacticException e) {
+			}
+			sc.reset(second);
+			reused.reset(sc);
+			reused.programa();
+			check(describe(reused.getCommands()).equals("3:REPITA 4:IDENTIFIER 5:ESCREVA "), describe(reused.getCommands()));
+		} catch (Exception e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Cadeias viram tokens CADEIA com o texto entre as aspas; repetições
+	 * recebem o mesmo índice e a mesma String.
+	 */
+	private static void stringLiterals() {
+		Scanner sc = new Scanner();
+		sc.reset("ESCREVA(\"olá, mundo\") \"\" \"olá, mundo\"\n\"x\"");
+		sc.nextToken();
+		sc.nextToken();
+		Token first = sc.nextToken();
+		check(first.getType() == TokenType.CADEIA && first.getText().equals("olá, mundo"), first.toString());
+		check(first.getConstant() == 0, "índice " + first.getConstant());
+		check(sc.nextToken().getType() == TokenType.R_PAREN, "esperado ')'");
+
+		Token empty = sc.nextToken();
+		check(empty.getType() == TokenType.CADEIA && empty.getText().isEmpty() && empty.getConstant() == 1, empty.toString());
+
+		Token repeated = sc.nextToken();
+		check(repeated.getConstant() == 0, "repetida com índice " + repeated.getConstant());
+		check(repeated.getText() == first.getText(), "repetida não compartilha a String");
+
+		Token last = sc.nextToken();
+		check(last.getText().equals("x") && last.getLine() == 2 && last.getConstant() == 2, last + "@" + last.getLine());
+		check(sc.nextToken() == null, "sobrou token");
+		check(sc.getConstantPool().size() == 3, "tabela com " + sc.getConstantPool().size());
+
+		// Cadeia sem aspa de fechamento, no fim do arquivo ou antes da quebra de linha
+		for (String source : new String[] { "ESCREVA(\"abc", "ESCREVA(\"abc\n\")", "ESCREVA(\"" }) {
+			sc.reset(source);
+			String message = lexError(sc);
+			check(message.contains("linha 1, coluna 9. Cadeia não fechada."), message);
+		}
+
+		// A tabela é por programa
+		sc.reset("\"b\"");
+		check(sc.nextToken().getConstant() == 0 && sc.getConstantPool().size() == 1, "tabela não foi esvaziada");
+	}
+
+	/**
+	 * Crescimento além da capacidade inicial, rehash e cópia.
+	 */
+	private static void constantPool() {
+		ConstantPool pool = new ConstantPool();
+		int n = 1000;
+		for (int round = 0; round < 2; round++) {
+			for (int i = 0; i < n; i++) {
+				int index = pool.intern(CharBuffer.wrap(("s" + i).toCharArray()));
+				check(index == i, "s" + i + " com índice " + index);
+			}
+		}
+		check(pool.size() == n, "tamanho " + pool.size());
+		check(pool.get(17).equals("s17") && pool.intern("s17") == 17, "s17");
+
+		ConstantPool copy = pool.copy();
+		pool.clear();
+		check(pool.size() == 0 && pool.intern("s5") == 0, "clear");
+		check(copy.size() == n && copy.get(5).equals("s5") && copy.intern("s5") == 5, "cópia afetada pelo clear");
+		check(copy.intern("novo") == n && pool.size() == 1, "cópia compartilha a tabela");
+
+		// A cópia tirada do Scanner sobrevive ao próximo reset
+		Scanner sc = new Scanner();
+		sc.reset("\"oi\"");
+		sc.nextToken();
+		ConstantPool kept = sc.getConstantPool().copy();
+		sc.reset("\"tchau\"");
+		sc.nextToken();
+		check(kept.get(0).equals("oi") && sc.getConstantPool().get(0).equals("tchau"), "cópia do Scanner");
+	}
+
+	private static String describe(CommandTable commands) {
+		StringBuilder sb = new StringBuilder();
+		for (int id = 0; id < commands.size(); id++) {
+			sb.append(commands.getLine(id)).append(':').append(commands.getKind(id)).append(' ');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Lê tokens até o erro léxico e devolve a mensagem.
+	 */
+	private static String lexError(Scanner sc) {
+		try {
+			while (sc.nextToken() != null) {
+			}
+		} catch (RuntimeException e) {
+			return e.getMessage();
+		}
+		throw new AssertionError("esperado erro léxico");
+	}
+
+	private static void assertLines(String source, int... expected) {
+		Scanner sc = new Scanner();
+		sc.reset(source);
+		for (int i = 0; i < expected.length; i++) {
+			Token t = sc.nextToken();
+			check(t != null, "faltou token " + i + " em '" + source + "'");
+			check(t.getLine() == expected[i],
+					t + " na linha " + t.getLine() + ", esperado " + expected[i] + " em '" + source + "'");
+		}
+		check(sc.nextToken() == null, "sobrou token em '" + source + "'");
+	}
+
+	private static void check(boolean condition, String message) {
+		if (!condition) {
+			throw new AssertionError(message);
+		}
+	}
+}
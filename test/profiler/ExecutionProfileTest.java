@@ -0,0 +1,144 @@
+package profiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import lexical.Scanner;
+import syntactic.Parser;
+import syntactic.ParserTest;
+
+/**
+ * Verificações do ExecutionProfile, executadas por main (o projeto não usa framework de testes).
+ * Na pasta raiz do projeto:
+ *   javac -encoding UTF-8 -d out $(find src test -name "*.java" ! -name module-info.java)
+ *   java -cp out profiler.ExecutionProfileTest
+ */
+public class ExecutionProfileTest {
+
+    public static void main(String[] args) throws Exception {
+        counters();
+        report();
+        survivesParserReset();
+        reset();
+        System.out.println("ExecutionProfileTest OK");
+    }
+
+    private static void counters() throws Exception {
+        ExecutionProfile profile = simulated(ParserTest.parse(ParserTest.NESTED));
+        check(profile.getHits(1) == 11 && profile.getHits(0) == 1 && profile.getHits(6) == 5, "hits");
+        check(profile.getNanos(1) == 5_000_000 && profile.getNanos(5) == 9_000_000, "nanos");
+        check(profile.getTaken(3) == 7 && profile.getNotTaken(3) == 3, "desvios");
+    }
+
+    /**
+     * O relatório ordena comandos por execuções e laços por tempo, com as
+     * linhas do fonte .mc.
+     */
+    private static void report() throws Exception {
+        String[] lines = report(simulated(ParserTest.parse(ParserTest.NESTED)));
+
+        int i = indexOf(lines, "Comandos mais executados:");
+        // Empates mantêm a ordem dos IDs
+        String[][] hot = {
+            { "7", "REPITA", "11" }, { "8", "BLOCO", "10" }, { "9", "SE", "10" }, { "14", "IDENTIFIER", "10" },
+            { "10", "IDENTIFIER", "7" }, { "13", "IDENTIFIER", "5" }, { "12", "REPITA", "3" },
+            { "6", "LEIA", "1" }, { "16", "ESCREVA", "1" },
+        };
+        for (String[] expected : hot) {
+            String line = lines[++i];
+            String got = line.trim().replaceAll("\\s+", " ");
+            check(got.equals("linha " + String.join(" ", expected)), "'" + line + "'");
+        }
+
+        i = indexOf(lines, "Laços REPITA (tempo acumulado):");
+        check(lines[i + 1].trim().startsWith("linha   12") && lines[i + 1].contains(" 3 execuções"), lines[i + 1]);
+        check(lines[i + 2].trim().startsWith("linha    7") && lines[i + 2].contains(" 11 execuções"), lines[i + 2]);
+
+        i = indexOf(lines, "Desvios SE (ENTAO / SENAO):");
+        check(lines[i + 1].trim().replaceAll("\\s+", " ").equals("linha 9 7 / 3"), lines[i + 1]);
+        check(lines.length == i + 2, "linhas a mais no relatório");
+    }
+
+    /**
+     * O perfil copia linhas e tipos: um Parser.reset não muda o relatório.
+     */
+    private static void survivesParserReset() throws Exception {
+        Parser parser = ParserTest.parse(ParserTest.NESTED);
+        ExecutionProfile profile = simulated(parser);
+        String before = String.join("\n", report(profile));
+
+        Scanner scanner = new Scanner();
+        scanner.reset("INICIO DECLS a:INT FIMDECLS CODIGO\nLEIA a\nFIMPROG");
+        parser.reset(scanner);
+        parser.programa();
+        check(parser.getCommands().size() == 1, "tabela não foi reaproveitada");
+
+        check(String.join("\n", report(profile)).equals(before), "relatório mudou após Parser.reset");
+        profile.hit(8);
+        check(profile.getHits(8) == 2, "hit após Parser.reset");
+    }
+
+    private static void reset() throws Exception {
+        ExecutionProfile profile = simulated(ParserTest.parse(ParserTest.NESTED));
+        profile.reset();
+        for (int id = 0; id < 9; id++) {
+            check(profile.getHits(id) == 0 && profile.getNanos(id) == 0
+                    && profile.getTaken(id) == 0 && profile.getNotTaken(id) == 0, "comando " + id + " não zerado");
+        }
+        String[] lines = report(profile);
+        check(lines[1].equals("Laços REPITA (tempo acumulado):"), "comandos listados após reset: " + lines[1]);
+    }
+
+    /**
+     * Contagens de uma execução fictícia do programa NESTED
+     * (10 voltas no REPITA externo; 7 pelo ENTAO e 3 pelo SENAO).
+     */
+    private static ExecutionProfile simulated(Parser parser) {
+        ExecutionProfile profile = new ExecutionProfile(parser.getCommands());
+        profile.hit(0);
+        for (int loop = 0; loop < 11; loop++) {
+            profile.hit(1);
+        }
+        for (int loop = 0; loop < 10; loop++) {
+            profile.hit(2);
+            profile.hit(3);
+            profile.branch(3, loop < 7);
+            profile.hit(7);
+        }
+        for (int n = 0; n < 7; n++) {
+            profile.hit(4);
+        }
+        for (int n = 0; n < 3; n++) {
+            profile.hit(5);
+        }
+        for (int n = 0; n < 5; n++) {
+            profile.hit(6);
+        }
+        profile.hit(8);
+        profile.time(1, 5_000_000);
+        profile.time(5, 9_000_000);
+        return profile;
+    }
+
+    private static String[] report(ExecutionProfile profile) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        profile.report(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        return bytes.toString(StandardCharsets.UTF_8).split("\\R");
+    }
+
+    private static int indexOf(String[] lines, String line) {
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i].equals(line)) {
+                return i;
+            }
+        }
+        throw new AssertionError("relatório sem '" + line + "'");
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package syntactic;
+
+import lexical.Scanner;
+import util.ConstantPool;
+import util.TokenType;
+
+/**
+ * Verificações do Parser, executadas por main (o projeto não usa framework de testes).
+ * Na pasta raiz do projeto:
+ *   javac -encoding UTF-8 -d out $(find src test -name "*.java" ! -name module-info.java)
+ *   java -cp out syntactic.ParserTest
+ */
+public class ParserTest {
+
+    public static void main(String[] args) throws Exception {
+        commandTable();
+        escrevaOperands();
+        System.out.println("ParserTest OK");
+    }
+
+    /**
+     * Programa com REPITA, SE/SENAO e BLOCO aninhados. Usado também pelo
+     * teste do ExecutionProfile.
+     */
+    public static final String NESTED =
+            "INICIO DECLS\n"            // 1
+            + "i:INT\n"                  // 2
+            + "x:INT\n"                  // 3
+            + "FIMDECLS\n"               // 4
+            + "CODIGO\n"                 // 5
+            + "LEIA x\n"                 // 6
+            + "REPITA i < 10\n"          // 7
+            + "  BLOCO\n"                // 8
+            + "    SE x > i ENTAO\n"     // 9
+            + "      x = x - 1\n"        // 10
+            + "    SENAO\n"              // 11
+            + "      REPITA x < 3\n"     // 12
+            + "        x = x + 1\n"      // 13
+            + "    i = i + 1\n"          // 14
+            + "  FIMBLOCO\n"             // 15
+            + "ESCREVA(x)\n"             // 16
+            + "FIMPROG";                 // 17
+
+    /**
+     * IDs seguem a ordem do fonte (o comando externo antes dos aninhados),
+     * com a linha e o tipo do token inicial de cada comando.
+     */
+    private static void commandTable() throws Exception {
+        CommandTable commands = parse(NESTED).getCommands();
+        check(commands.size() == 9, "comandos: " + commands.size());
+        assertCommand(commands, 0, TokenType.LEIA, 6, -1);
+        assertCommand(commands, 1, TokenType.REPITA, 7, -1);
+        assertCommand(commands, 2, TokenType.BLOCO, 8, -1);
+        assertCommand(commands, 3, TokenType.SE, 9, -1);
+        assertCommand(commands, 4, TokenType.IDENTIFIER, 10, -1);
+        assertCommand(commands, 5, TokenType.REPITA, 12, -1);
+        assertCommand(commands, 6, TokenType.IDENTIFIER, 13, -1);
+        assertCommand(commands, 7, TokenType.IDENTIFIER, 14, -1);
+        assertCommand(commands, 8, TokenType.ESCREVA, 16, -1);
+    }
+
+    /**
+     * Cada ESCREVA de CADEIA guarda o índice da cadeia na ConstantPool;
+     * ESCREVA de IDENTIFIER e os demais comandos ficam com -1.
+     */
+    private static void escrevaOperands() throws Exception {
+        Parser parser = parse("INICIO DECLS x:INT FIMDECLS\n"
+                + "CODIGO\n"
+                + "ESCREVA(\"oi\")\n"
+                + "SE x > 1 ENTAO ESCREVA(\"tchau\") SENAO ESCREVA(\"oi\")\n"
+                + "ESCREVA(x)\n"
+                + "FIMPROG");
+        CommandTable commands = parser.getCommands();
+        ConstantPool constants = parser.getConstants();
+
+        check(commands.size() == 5, "comandos: " + commands.size());
+        assertCommand(commands, 0, TokenType.ESCREVA, 3, 0);
+        assertCommand(commands, 1, TokenType.SE, 4, -1);
+        assertCommand(commands, 2, TokenType.ESCREVA, 4, 1);
+        assertCommand(commands, 3, TokenType.ESCREVA, 4, 0);
+        assertCommand(commands, 4, TokenType.ESCREVA, 5, -1);
+
+        check(constants.size() == 2, "cadeias: " + constants.size());
+        check(constants.get(commands.getOperand(0)).equals("oi"), "operando 0");
+        check(constants.get(commands.getOperand(2)).equals("tchau"), "operando 2");
+    }
+
+    public static Parser parse(String source) throws Exception {
+        Scanner scanner = new Scanner();
+        scanner.reset(source);
+        Parser parser = new Parser(scanner);
+        parser.programa();
+        return parser;
+    }
+
+    static void assertCommand(CommandTable commands, int id, TokenType kind, int line, int operand) {
+        check(commands.getKind(id) == kind && commands.getLine(id) == line && commands.getOperand(id) == operand,
+                "comando " + id + ": " + commands.getKind(id) + " linha " + commands.getLine(id)
+                + " operando " + commands.getOperand(id));
+    }
+
+    static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}